@@ -1,6 +1,7 @@
 package com.training.finance.controller;
 
 import com.training.finance.model.Transaction;
+import com.training.finance.model.TransferRequest;
 import com.training.finance.service.TransactionService;
 import org.bson.Document;
 import org.springframework.http.HttpStatus;
@@ -26,6 +27,15 @@ public class TransactionController {
         return transactionService.recordTransaction(transaction);
     }
 
+    @PostMapping("/transfer")
+    public ResponseEntity<List<Transaction>> transfer(@RequestBody TransferRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.transfer(request));  // 201 with debit and credit
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();  // 400
+        }
+    }
+
     @GetMapping("/{accountId}")
     public List<Transaction> getTransactions(@PathVariable String accountId) {
         return transactionService.getTransactionsByAccount(accountId);
@@ -0,0 +1,43 @@
+package com.training.finance.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Details about a transfer between two accounts")
+public class TransferRequest {
+    private String fromAccountId;
+    private String toAccountId;
+    private double amount;
+    private String remarks;
+
+    public String getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(String fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public String getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(String toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public String getRemarks() {
+        return remarks;
+    }
+
+    public void setRemarks(String remarks) {
+        this.remarks = remarks;
+    }
+}
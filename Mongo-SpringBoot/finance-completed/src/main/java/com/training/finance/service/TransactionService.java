@@ -1,10 +1,13 @@
 package com.training.finance.service;
 
+import com.mongodb.MongoException;
 import com.training.finance.model.Transaction;
+import com.training.finance.model.TransferRequest;
 import com.training.finance.repository.TransactionRepository;
 import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
@@ -12,25 +15,97 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class TransactionService {
     private final TransactionRepository repository;
     private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
     private final static Logger logger = LoggerFactory.getLogger(TransactionService.class);
+    // Same limit the driver's ClientSession.withTransaction uses for TransientTransactionError
+    private final static Duration TRANSFER_RETRY_TIMEOUT = Duration.ofSeconds(120);
+    Duration transferRetryTimeout = TRANSFER_RETRY_TIMEOUT;
 
-    public TransactionService(TransactionRepository repository, MongoTemplate mongoTemplate) {
+    public TransactionService(TransactionRepository repository, MongoTemplate mongoTemplate, PlatformTransactionManager transactionManager) {
         this.repository = repository;
         this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public Transaction recordTransaction(Transaction transaction) {
         return repository.save(transaction);
     }
 
+    public List<Transaction> transfer(TransferRequest request) {
+        if (request.getFromAccountId() == null || request.getFromAccountId().isBlank()
+                || request.getToAccountId() == null || request.getToAccountId().isBlank()
+                || request.getFromAccountId().equals(request.getToAccountId())
+                || !Double.isFinite(request.getAmount()) || request.getAmount() <= 0) {
+            throw new IllegalArgumentException("Transfer needs two different accounts and a positive amount");
+        }
+        String transferId = "TRF-" + UUID.randomUUID();
+        long deadline = System.nanoTime() + transferRetryTimeout.toNanos();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // Debit and credit are committed together or not at all
+                return transactionTemplate.execute(status -> List.of(
+                        transferLeg(transferId + "-D", request.getFromAccountId(), "Debit", request),
+                        transferLeg(transferId + "-C", request.getToAccountId(), "Credit", request)));
+            } catch (DataAccessException | TransactionException e) {
+                // Commit failures surface as TransactionSystemException, so both hierarchies are checked
+                if (!isTransientTransactionError(e)) {
+                    throw e;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    logger.warn("Transfer {} gave up after {} attempts failed with transient errors", transferId, attempt);
+                    throw e;
+                }
+                logger.debug("Transfer {} hit a transient error, retrying (attempt {})", transferId, attempt);
+                try {
+                    // Random back-off so transfers that conflicted on a hot account do not collide again straight away
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(1, Math.min(10L * attempt, 100) + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Transaction transferLeg(String txnId, String accountId, String type, TransferRequest request) {
+        Transaction transaction = new Transaction(List.of("transfer"));
+        transaction.setTxnId(txnId);
+        transaction.setAccountId(accountId);
+        transaction.setType(type);
+        transaction.setAmount(request.getAmount());
+        transaction.setStatus("SUCCESS");
+        transaction.setDate(LocalDateTime.now());
+        transaction.setChannel("Transfer");
+        transaction.setRemarks(request.getRemarks());
+        return repository.save(transaction);
+    }
+
+    // Only TransientTransactionError is retried: the server has aborted the whole transaction, so re-running it is safe
+    private boolean isTransientTransactionError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public List<Transaction> getTransactionsByAccount(String accountNumber) {
         return repository.findByAccountId(accountNumber);
     }
@@ -65,7 +140,6 @@ public class TransactionService {
                     existing.setAccountId(updatedTransaction.getAccountId());
                     existing.setType(updatedTransaction.getType());
                     existing.setAmount(updatedTransaction.getAmount());
-                    existing.setCurrency(updatedTransaction.getCurrency());
                     existing.setStatus(updatedTransaction.getStatus());
                     existing.setDate(updatedTransaction.getDate());
                     existing.setChannel(updatedTransaction.getChannel());
@@ -0,0 +1,16 @@
+package com.training.finance;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Transactions need a replica set; MongoDBContainer starts a single-node one in its own throwaway database
+@Testcontainers(disabledWithoutDocker = true)
+abstract class MongoReplicaSetTests {
+
+	@Container
+	@ServiceConnection
+	static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+}
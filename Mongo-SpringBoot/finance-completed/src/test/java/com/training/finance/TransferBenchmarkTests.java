@@ -0,0 +1,140 @@
+package com.training.finance;
+
+import com.training.finance.model.Transaction;
+import com.training.finance.model.TransferRequest;
+import com.training.finance.repository.TransactionRepository;
+import com.training.finance.service.TransactionService;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.training.finance.TransferRequests.transferRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// Run with mvn test -Dtest=TransferBenchmarkTests -Dtransfer.benchmark=true (needs Docker)
+@SpringBootTest
+@EnabledIfSystemProperty(named = "transfer.benchmark", matches = "true")
+class TransferBenchmarkTests extends MongoReplicaSetTests {
+
+	private final static Logger logger = LoggerFactory.getLogger(TransferBenchmarkTests.class);
+	private final static int THREADS = 16;
+	private final static int TRANSFERS_PER_THREAD = 200;
+	private final static String ACCOUNT_A = "HOT-A";
+	private final static String ACCOUNT_B = "HOT-B";
+	private final static String HOT_ACCOUNTS = "hot_accounts";
+
+	@Autowired
+	private TransactionRepository repository;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final AtomicInteger attempts = new AtomicInteger();
+	private TransactionService transactionService;
+
+	@BeforeEach
+	void setUp() {
+		// Every leg also updates a shared document of its account inside the transfer's transaction,
+		// like a per-account balance would, so concurrent transfers on the same accounts write-conflict
+		TransactionRepository hotRepository = mock(TransactionRepository.class, delegatesTo(repository));
+		doAnswer(invocation -> {
+			Transaction transaction = invocation.getArgument(0);
+			if ("Debit".equals(transaction.getType())) {
+				attempts.incrementAndGet();  // the debit is the first write of every attempt
+			}
+			mongoTemplate.upsert(Query.query(Criteria.where("_id").is(transaction.getAccountId())),
+					new Update().inc("writes", 1), HOT_ACCOUNTS);
+			return repository.save(transaction);
+		}).when(hotRepository).save(any(Transaction.class));
+		transactionService = new TransactionService(hotRepository, mongoTemplate, transactionManager);
+
+		// Created up front so the first transfers do not race to create the collections or documents
+		for (String accountId : List.of(ACCOUNT_A, ACCOUNT_B)) {
+			mongoTemplate.insert(new Document("_id", accountId).append("writes", 0), HOT_ACCOUNTS);
+		}
+		if (!mongoTemplate.collectionExists(Transaction.class)) {
+			mongoTemplate.createCollection(Transaction.class);
+		}
+	}
+
+	@AfterEach
+	void cleanUp() {
+		mongoTemplate.dropCollection(Transaction.class);
+		mongoTemplate.dropCollection(HOT_ACCOUNTS);
+	}
+
+	@Test
+	void transfersBetweenHotAccountsKeepBalancesConsistent() throws Exception {
+		// Every thread moves money back and forth between the same two accounts
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<Double>> results = new ArrayList<>();
+		AtomicInteger succeeded = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		double expectedB = 0;
+		long start = System.nanoTime();
+		try {
+			for (int i = 0; i < THREADS; i++) {
+				boolean aToB = i % 2 == 0;
+				double amount = aToB ? 2 : 1;
+				results.add(executor.submit(() -> {
+					double movedToB = 0;
+					for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+						TransferRequest request = transferRequest(aToB ? ACCOUNT_A : ACCOUNT_B, aToB ? ACCOUNT_B : ACCOUNT_A, amount);
+						request.setRemarks("Benchmark transfer");
+						try {
+							transactionService.transfer(request);
+							succeeded.incrementAndGet();
+							movedToB += aToB ? amount : -amount;
+						} catch (RuntimeException e) {
+							failed.incrementAndGet();
+						}
+					}
+					return movedToB;
+				}));
+			}
+			for (Future<Double> result : results) {
+				expectedB += result.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		long elapsedNanos = System.nanoTime() - start;
+
+		int transfers = THREADS * TRANSFERS_PER_THREAD;
+		logger.info("{} transfers on 2 hot accounts with {} threads: {} transfers/sec, {} retries, {} failed",
+				transfers, THREADS, String.format("%.1f", succeeded.get() / (elapsedNanos / 1_000_000_000.0)),
+				attempts.get() - transfers, failed.get());
+
+		// Failed transfers must have been rolled back completely
+		assertEquals(expectedB, transactionService.getBalance(ACCOUNT_B), 0.001);
+		assertEquals(-expectedB, transactionService.getBalance(ACCOUNT_A), 0.001);
+		assertEquals(succeeded.get(), transactionService.getTransactionsByAccount(ACCOUNT_A).size());
+		assertEquals(succeeded.get(), transactionService.getTransactionsByAccount(ACCOUNT_B).size());
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.training.finance;
+
+import com.training.finance.model.Transaction;
+import com.training.finance.repository.TransactionRepository;
+import com.training.finance.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static com.training.finance.TransferRequests.transferRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+class TransferIntegrationTests extends MongoReplicaSetTests {
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@SpyBean
+	private TransactionRepository repository;
+
+	@AfterEach
+	void cleanUp() {
+		mongoTemplate.dropCollection(Transaction.class);
+	}
+
+	@Test
+	void transferWritesDebitAndCredit() {
+		List<Transaction> legs = transactionService.transfer(transferRequest("A5001", "A5002", 500));
+
+		assertEquals(2, legs.size());
+		assertEquals(-500, transactionService.getBalance("A5001"));
+		assertEquals(500, transactionService.getBalance("A5002"));
+	}
+
+	@Test
+	void failedCreditRollsBackDebit() {
+		doThrow(new DataIntegrityViolationException("Credit leg failed"))
+				.when(repository).save(argThat((Transaction transaction) -> "Credit".equals(transaction.getType())));
+
+		assertThrows(DataIntegrityViolationException.class,
+				() -> transactionService.transfer(transferRequest("A5001", "A5002", 500)));
+
+		assertTrue(transactionService.getTransactionsByAccount("A5001").isEmpty());
+		assertTrue(transactionService.getTransactionsByAccount("A5002").isEmpty());
+	}
+
+}
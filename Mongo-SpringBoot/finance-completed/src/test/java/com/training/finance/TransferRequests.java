@@ -0,0 +1,18 @@
+package com.training.finance;
+
+import com.training.finance.model.TransferRequest;
+
+public final class TransferRequests {
+
+	private TransferRequests() {
+	}
+
+	public static TransferRequest transferRequest(String fromAccountId, String toAccountId, double amount) {
+		TransferRequest request = new TransferRequest();
+		request.setFromAccountId(fromAccountId);
+		request.setToAccountId(toAccountId);
+		request.setAmount(amount);
+		return request;
+	}
+
+}
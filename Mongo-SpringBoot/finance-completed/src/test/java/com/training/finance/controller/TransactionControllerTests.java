@@ -0,0 +1,87 @@
+package com.training.finance.controller;
+
+import com.training.finance.model.Transaction;
+import com.training.finance.repository.TransactionRepository;
+import com.training.finance.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionControllerTests {
+
+	@Mock
+	private TransactionRepository repository;
+
+	@Mock
+	private MongoTemplate mongoTemplate;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		TransactionService transactionService = new TransactionService(repository, mongoTemplate, transactionManager);
+		mockMvc = MockMvcBuilders.standaloneSetup(new TransactionController(transactionService)).build();
+	}
+
+	@Test
+	void transferReturnsBothLegs() throws Exception {
+		when(repository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		postTransfer("{\"fromAccountId\": \"A5001\", \"toAccountId\": \"A5002\", \"amount\": 500}")
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].type").value("Debit"))
+				.andExpect(jsonPath("$[1].type").value("Credit"));
+	}
+
+	@Test
+	void transferToSameAccountIsBadRequest() throws Exception {
+		postTransfer("{\"fromAccountId\": \"A5001\", \"toAccountId\": \"A5001\", \"amount\": 500}")
+				.andExpect(status().isBadRequest());
+		verifyNoInteractions(repository);
+	}
+
+	@Test
+	void transferWithoutAccountsIsBadRequest() throws Exception {
+		postTransfer("{\"toAccountId\": \"A5002\", \"amount\": 500}")
+				.andExpect(status().isBadRequest());
+		postTransfer("{\"fromAccountId\": \"A5001\", \"amount\": 500}")
+				.andExpect(status().isBadRequest());
+		verifyNoInteractions(repository);
+	}
+
+	@Test
+	void transferWithoutPositiveAmountIsBadRequest() throws Exception {
+		postTransfer("{\"fromAccountId\": \"A5001\", \"toAccountId\": \"A5002\", \"amount\": 0}")
+				.andExpect(status().isBadRequest());
+		postTransfer("{\"fromAccountId\": \"A5001\", \"toAccountId\": \"A5002\", \"amount\": -10}")
+				.andExpect(status().isBadRequest());
+		verifyNoInteractions(repository);
+	}
+
+	private ResultActions postTransfer(String body) throws Exception {
+		return mockMvc.perform(post("/api/transactions/transfer")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body));
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.training.finance.service;
+
+import com.mongodb.MongoException;
+import com.training.finance.model.Transaction;
+import com.training.finance.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.training.finance.TransferRequests.transferRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTests {
+
+	@Mock
+	private TransactionRepository repository;
+
+	@Mock
+	private MongoTemplate mongoTemplate;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionService transactionService;
+
+	@BeforeEach
+	void setUp() {
+		transactionService = new TransactionService(repository, mongoTemplate, transactionManager);
+	}
+
+	@Test
+	void rejectsInvalidTransfers() {
+		assertThrows(IllegalArgumentException.class, () -> transactionService.transfer(transferRequest(null, "A5002", 500)));
+		assertThrows(IllegalArgumentException.class, () -> transactionService.transfer(transferRequest("A5001", null, 500)));
+		assertThrows(IllegalArgumentException.class, () -> transactionService.transfer(transferRequest(" ", "A5002", 500)));
+		assertThrows(IllegalArgumentException.class, () -> transactionService.transfer(transferRequest("A5001", "", 500)));
+		assertThrows(IllegalArgumentException.class, () -> transactionService.transfer(transferRequest("A5001", "A5001", 500)));
+		assertThrows(IllegalArgumentException.class, () -> transactionService.transfer(transferRequest("A5001", "A5002", 0)));
+		assertThrows(IllegalArgumentException.class, () -> transactionService.transfer(transferRequest("A5001", "A5002", -1)));
+		assertThrows(IllegalArgumentException.class, () -> transactionService.transfer(transferRequest("A5001", "A5002", Double.NaN)));
+		assertThrows(IllegalArgumentException.class, () -> transactionService.transfer(transferRequest("A5001", "A5002", Double.POSITIVE_INFINITY)));
+		verifyNoInteractions(repository, mongoTemplate, transactionManager);
+	}
+
+	@Test
+	void retriesTransientError() {
+		when(repository.save(any(Transaction.class)))
+				.thenThrow(transientError())
+				.thenAnswer(invocation -> invocation.getArgument(0));
+
+		List<Transaction> legs = transactionService.transfer(transferRequest("A5001", "A5002", 500));
+
+		assertEquals(2, legs.size());
+		verify(transactionManager, times(2)).getTransaction(any());
+		verify(repository, times(3)).save(any(Transaction.class));
+	}
+
+	@Test
+	void retriesTransientErrorAtCommit() {
+		when(repository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		doThrow(new TransactionSystemException("Could not commit Mongo transaction", transientMongoException()))
+				.doNothing()
+				.when(transactionManager).commit(any());
+
+		List<Transaction> legs = transactionService.transfer(transferRequest("A5001", "A5002", 500));
+
+		assertEquals(2, legs.size());
+		verify(transactionManager, times(2)).getTransaction(any());
+		verify(transactionManager, times(2)).commit(any());
+	}
+
+	@Test
+	void doesNotRetryNonTransientError() {
+		when(repository.save(any(Transaction.class))).thenThrow(new DataIntegrityViolationException("Duplicate key"));
+
+		assertThrows(DataIntegrityViolationException.class,
+				() -> transactionService.transfer(transferRequest("A5001", "A5002", 500)));
+
+		verify(transactionManager, times(1)).getTransaction(any());
+		verify(repository, times(1)).save(any(Transaction.class));
+	}
+
+	@Test
+	void stopsRetryingAfterTimeout() {
+		transactionService.transferRetryTimeout = Duration.ZERO;
+		when(repository.save(any(Transaction.class))).thenThrow(transientError());
+
+		assertThrows(UncategorizedMongoDbException.class,
+				() -> transactionService.transfer(transferRequest("A5001", "A5002", 500)));
+
+		verify(transactionManager, times(1)).getTransaction(any());
+		verify(repository, times(1)).save(any(Transaction.class));
+	}
+
+	private UncategorizedMongoDbException transientError() {
+		return new UncategorizedMongoDbException("Write conflict", transientMongoException());
+	}
+
+	private MongoException transientMongoException() {
+		MongoException exception = new MongoException(112, "WriteConflict");
+		exception.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+		return exception;
+	}
+
+}